@@ -0,0 +1,334 @@
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import hms.main.HotelManager;
+import hms.model.Room;
+
+/**
+ * Load simulator of several front desks sharing the same {@link HotelManager}.
+ *
+ * Each desk is a thread performing a random mix of checkIn, checkOut, findOccupant and updateRoomRate
+ * on random rooms during a given time. At the end of each phase, the throughput, the p50, p99 and
+ * p99.9 latencies of each operation and the number of each result message are printed. findOccupant
+ * calls count as successful unless they throw, the other operations when they return "Success".
+ *
+ * Without a given mix, two phases are simulated: the morning check-out (mostly checkOut) on a full
+ * hotel, followed by the afternoon arrival (mostly checkIn) on an empty hotel. The hotel is the one of
+ * the xml description (6 rooms).
+ *
+ * Usage: java FrontDeskSimulator [desks] [seconds] [checkIn% checkOut% findOccupant% updateRoomRate%]
+ *
+ * @author Quentin
+ *
+ */
+public class FrontDeskSimulator {
+
+	private static final String USAGE =
+			"Usage: java FrontDeskSimulator [desks] [seconds] [checkIn% checkOut% findOccupant% updateRoomRate%]";
+
+	private static final String[] OPERATIONS = {"checkIn", "checkOut", "findOccupant", "updateRoomRate"};
+
+	/** Columns of {@link #OCCUPANTS}, in the order of the arguments of checkIn. */
+	private static final int ID = 0, NAME = 1, TYPE = 2, COMPANY = 3;
+
+	private static final String[] FIELDS = {"Name", "ID", "Company", "Type"};
+
+	/** Column of {@link #OCCUPANTS} holding the value searched for each of the {@link #FIELDS}. */
+	private static final int[] FIELD_COLUMNS = {NAME, ID, COMPANY, TYPE};
+
+	/** Occupants used by the desks, as {ID, name, type, company}. */
+	private static final String[][] OCCUPANTS = {
+		{"X12345678", "Gates", "Business", "Microsoft"},
+		{"Y87654321", "Jobs", "Standard", "Apple"},
+		{"Z11223344", "Ballmer", "Business", "Microsoft"},
+		{"W55667788", "Wozniak", "Standard", "Apple"}
+	};
+
+	private static final Date dateIn = new GregorianCalendar(2016, Calendar.DECEMBER, 8).getTime();
+
+	private static final Date dateOut = new GregorianCalendar(2016, Calendar.DECEMBER, 15).getTime();
+
+	/**
+	 * Histogram of latencies in nanoseconds, with buckets of about 3% of their value.
+	 */
+	static class LatencyHistogram {
+
+		private static final int SUB_BUCKETS = 32;
+
+		private final long[] counts = new long[64 * SUB_BUCKETS];
+
+		private long total;
+
+		public void record(long nanos){
+			counts[index(Math.max(nanos, 0))]++;
+			total++;
+		}
+
+		public void add(LatencyHistogram other){
+			for (int i = 0; i < counts.length; i++)
+				counts[i] += other.counts[i];
+			total += other.total;
+		}
+
+		public long getTotal(){ return total;}
+
+		/**
+		 * Gives the latency under which the given fraction of the recorded values are.
+		 *
+		 * @param fraction - Fraction of the values, between 0 and 1
+		 * @return latency in nanoseconds, or 0 if no value has been recorded
+		 */
+		public long percentile(double fraction){
+			long target = (long) Math.ceil(fraction * total);
+			long count = 0;
+			for (int i = 0; i < counts.length; i++){
+				count += counts[i];
+				if (count >= target && count > 0)
+					return value(i);
+			}
+			return 0;
+		}
+
+		private static int index(long nanos){
+			if (nanos < SUB_BUCKETS)
+				return (int) nanos;
+			int magnitude = 63 - Long.numberOfLeadingZeros(nanos);
+			int shift = magnitude - 5;
+			return SUB_BUCKETS + shift * SUB_BUCKETS + (int) ((nanos >> shift) & (SUB_BUCKETS - 1));
+		}
+
+		private static long value(int index){
+			if (index < SUB_BUCKETS)
+				return index;
+			int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+			long sub = (index - SUB_BUCKETS) % SUB_BUCKETS;
+			return (SUB_BUCKETS + sub) << shift;
+		}
+	}
+
+	/**
+	 * Results of one desk, or of all the desks once merged.
+	 */
+	static class DeskResults {
+
+		public final LatencyHistogram[] latencies = new LatencyHistogram[OPERATIONS.length];
+
+		public final long[] successes = new long[OPERATIONS.length];
+
+		public final Map<String, long[]> messages = new HashMap<String, long[]>();
+
+		public DeskResults(){
+			for (int i = 0; i < latencies.length; i++)
+				latencies[i] = new LatencyHistogram();
+		}
+
+		public void count(String operation, String message){
+			String key = operation + ": " + message;
+			long[] count = messages.get(key);
+			if (count == null)
+				messages.put(key, count = new long[1]);
+			count[0]++;
+		}
+
+		public void add(DeskResults other){
+			for (int i = 0; i < latencies.length; i++){
+				latencies[i].add(other.latencies[i]);
+				successes[i] += other.successes[i];
+			}
+			for (Map.Entry<String, long[]> entry : other.messages.entrySet()){
+				long[] count = messages.get(entry.getKey());
+				if (count == null)
+					messages.put(entry.getKey(), count = new long[1]);
+				count[0] += entry.getValue()[0];
+			}
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+
+		int desks = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+		int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+		if (desks <= 0 || seconds <= 0)
+			throw new IllegalArgumentException("The number of desks and of seconds should be positive\n" + USAGE);
+
+		HotelManager manager = new HotelManager();
+		ExecutorService executor = Executors.newFixedThreadPool(desks);
+		try{
+			if (args.length > 2){
+				int[] mix = new int[OPERATIONS.length];
+				for (int i = 0; i < mix.length; i++)
+					mix[i] = args.length > i + 2 ? Integer.parseInt(args[i + 2]) : 0;
+				simulate("Custom mix", manager, executor, desks, seconds, mix);
+			}else{
+				// The hotel is full before the morning check-out and empty before the afternoon arrival
+				set_occupancy(manager, true);
+				simulate("Morning check-out", manager, executor, desks, seconds, new int[]{5, 60, 30, 5});
+				set_occupancy(manager, false);
+				simulate("Afternoon arrival", manager, executor, desks, seconds, new int[]{60, 5, 30, 5});
+			}
+		}finally{
+			executor.shutdownNow();
+			manager.getUI().dispose();
+		}
+	}
+
+	/**
+	 * Runs one phase of the simulation and prints its results.
+	 *
+	 * @param phase - Name of the phase
+	 * @param manager - Manager shared by all the desks
+	 * @param executor - Executor running the desks
+	 * @param desks - Number of desks
+	 * @param seconds - Duration of the phase
+	 * @param mix - Weight of each operation, in the order of {@link #OPERATIONS}
+	 */
+	@SuppressWarnings("unchecked")
+	private static void simulate(String phase, final HotelManager manager, ExecutorService executor, int desks,
+			int seconds, final int[] mix) throws Exception {
+
+		final ArrayList<Room> rooms = new ArrayList<Room>();
+		rooms.addAll(manager.listAllAvailableRooms());
+		rooms.addAll(manager.listAllOccupiedRooms());
+		int weights = 0;
+		for (int weight : mix)
+			weights += weight;
+		if (weights <= 0)
+			throw new IllegalArgumentException("The mix should contain at least one operation\n" + USAGE);
+		final int totalWeight = weights;
+
+		final CountDownLatch start = new CountDownLatch(1);
+		final long duration = seconds * 1000000000L;
+		List<Future<DeskResults>> futures = new ArrayList<Future<DeskResults>>();
+		for (int desk = 0; desk < desks; desk++){
+			final Random random = new Random(desk);
+			futures.add(executor.submit(new Callable<DeskResults>(){
+				@Override
+				public DeskResults call() throws Exception {
+					DeskResults results = new DeskResults();
+					start.await();
+					long end = System.nanoTime() + duration;
+					while (System.nanoTime() < end){
+
+						// Choosing the operation according to the mix
+						int draw = random.nextInt(totalWeight);
+						int operation = 0;
+						while (draw >= mix[operation])
+							draw -= mix[operation++];
+
+						long begin = System.nanoTime();
+						String message;
+						boolean success;
+						try{
+							message = perform(operation, manager, rooms, random);
+							success = operation == 2 || "Success".equals(message);
+						}catch (RuntimeException e){
+							message = e.getClass().getSimpleName();
+							success = false;
+						}
+						results.latencies[operation].record(System.nanoTime() - begin);
+						if (success)
+							results.successes[operation]++;
+						results.count(OPERATIONS[operation], message);
+					}
+					return results;
+				}
+			}));
+		}
+		long begin = System.nanoTime();
+		start.countDown();
+
+		DeskResults total = new DeskResults();
+		for (Future<DeskResults> future : futures)
+			total.add(future.get());
+		print(phase, desks, (System.nanoTime() - begin) / 1e9, total);
+	}
+
+	/**
+	 * Checks in or checks out every room of the hotel, so that a phase starts with the hotel full
+	 * or empty.
+	 *
+	 * @param manager - Manager of the hotel
+	 * @param occupied - true to check in every available room, false to check out every occupied room
+	 */
+	@SuppressWarnings("unchecked")
+	private static void set_occupancy(HotelManager manager, boolean occupied){
+
+		if (occupied){
+			ArrayList<Room> rooms = manager.listAllAvailableRooms();
+			for (int i = 0; i < rooms.size(); i++){
+				String[] occupant = OCCUPANTS[i % OCCUPANTS.length];
+				manager.checkIn(occupant[ID], occupant[NAME], occupant[TYPE], occupant[COMPANY], dateIn, false, "", rooms.get(i));
+			}
+		}else{
+			ArrayList<Room> rooms = manager.listAllOccupiedRooms();
+			for (Room room : rooms)
+				manager.checkOut(dateOut, room);
+		}
+	}
+
+	/**
+	 * Performs one operation on a random room of the hotel.
+	 *
+	 * @return message describing the result of the operation
+	 */
+	private static String perform(int operation, HotelManager manager, ArrayList<Room> rooms, Random random){
+
+		Room room = rooms.get(random.nextInt(rooms.size()));
+		String[] occupant = OCCUPANTS[random.nextInt(OCCUPANTS.length)];
+		switch (operation){
+			case 0:
+				return manager.checkIn(occupant[ID], occupant[NAME], occupant[TYPE], occupant[COMPANY], dateIn, false, "", room);
+			case 1:
+				return manager.checkOut(dateOut, room);
+			case 2:
+				int field = random.nextInt(FIELDS.length);
+				return manager.findOccupant(FIELDS[field], occupant[FIELD_COLUMNS[field]]).size() + " room(s) found";
+			default:
+				manager.updateRoomRate(room, 100 + random.nextInt(400));
+				return "Success";
+		}
+	}
+
+	/**
+	 * Prints the results of one phase of the simulation.
+	 *
+	 * @param phase - Name of the phase
+	 * @param desks - Number of desks
+	 * @param seconds - Measured duration of the phase
+	 * @param results - Results of all the desks
+	 */
+	private static void print(String phase, int desks, double seconds, DeskResults results){
+
+		long operations = 0;
+		for (LatencyHistogram histogram : results.latencies)
+			operations += histogram.getTotal();
+
+		System.out.println(String.format("== %s: %d desks, %.2f s, %.0f operations/s", phase, desks, seconds,
+				operations / seconds));
+		System.out.println(String.format("%-16s %10s %12s %12s %12s %12s %12s", "Operation", "count", "ops/s",
+				"success/s", "p50 (us)", "p99 (us)", "p99.9 (us)"));
+		for (int i = 0; i < OPERATIONS.length; i++){
+			LatencyHistogram histogram = results.latencies[i];
+			System.out.println(String.format("%-16s %10d %12.0f %12.0f %12.1f %12.1f %12.1f", OPERATIONS[i],
+					histogram.getTotal(), histogram.getTotal() / seconds, results.successes[i] / seconds,
+					histogram.percentile(0.5) / 1000.0, histogram.percentile(0.99) / 1000.0,
+					histogram.percentile(0.999) / 1000.0));
+		}
+
+		System.out.println("Result messages:");
+		for (Map.Entry<String, long[]> entry : new TreeMap<String, long[]>(results.messages).entrySet())
+			System.out.println(String.format("  %-70s %10d", entry.getKey(), entry.getValue()[0]));
+	}
+}
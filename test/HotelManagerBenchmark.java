@@ -0,0 +1,160 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+
+import hms.main.HotelManager;
+import hms.model.Room;
+
+/**
+ * Micro benchmark of the most used functions of {@link HotelManager}: checkIn, checkOut, findOccupant
+ * for each field, listAllAvailableRooms, listAllOccupiedRooms, getRoom and updateRoomRate.
+ *
+ * Each function is first called during a warm up phase, then measured on the given number of
+ * iterations. The average time and the average number of allocated bytes per call are printed.
+ *
+ * The hotel is the one of the xml description (6 rooms), since the manager cannot be loaded
+ * from another description.
+ *
+ * Usage: java HotelManagerBenchmark [iterations]
+ *
+ * @author Quentin
+ *
+ */
+public class HotelManagerBenchmark {
+
+	/**
+	 * Operation measured by the benchmark.
+	 */
+	private static abstract class Operation {
+
+		public final String name;
+
+		public Operation(String name){ this.name = name;}
+
+		/**
+		 * Performs the operation once.
+		 *
+		 * @return any value depending on the result, so that the call cannot be removed
+		 */
+		public abstract int run();
+	}
+
+	private static final Date dateIn = new GregorianCalendar(2016, Calendar.DECEMBER, 8).getTime();
+
+	private static final Date dateOut = new GregorianCalendar(2016, Calendar.DECEMBER, 15).getTime();
+
+	/** Sum of the results of the operations, printed so that they are not optimized away. */
+	private static long sink;
+
+	public static void main(String[] args) {
+
+		int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+
+		final HotelManager manager = new HotelManager();
+		final Room freeRoom = manager.getRoom(0, 0);
+		final Room bookedRoom = manager.getRoom(2, 0);
+
+		// One occupant is kept during the whole benchmark for the searches and the occupied rooms
+		manager.checkIn("X12345678", "Gates", "Business", "Microsoft", dateIn, false, "", bookedRoom);
+
+		Operation[] operations = {
+			new Operation("checkIn"){
+				@Override
+				public int run() {
+					int result = manager.checkIn("Y87654321", "Jobs", "Standard", "Apple", dateIn, false, "", freeRoom).length();
+					manager.checkOut(dateOut, freeRoom);
+					return result;
+				}
+			},
+			new Operation("checkOut"){
+				@Override
+				public int run() {
+					manager.checkIn("Y87654321", "Jobs", "Standard", "Apple", dateIn, false, "", freeRoom);
+					return manager.checkOut(dateOut, freeRoom).length();
+				}
+			},
+			new Operation("findOccupant(Name)"){
+				@Override
+				public int run() { return manager.findOccupant("Name", "Gates").size();}
+			},
+			new Operation("findOccupant(ID)"){
+				@Override
+				public int run() { return manager.findOccupant("ID", "X12345678").size();}
+			},
+			new Operation("findOccupant(Company)"){
+				@Override
+				public int run() { return manager.findOccupant("Company", "Microsoft").size();}
+			},
+			new Operation("findOccupant(Type)"){
+				@Override
+				public int run() { return manager.findOccupant("Type", "Business").size();}
+			},
+			new Operation("listAllAvailableRooms"){
+				@Override
+				public int run() { return manager.listAllAvailableRooms().size();}
+			},
+			new Operation("listAllOccupiedRooms"){
+				@Override
+				public int run() { return manager.listAllOccupiedRooms().size();}
+			},
+			new Operation("getRoom"){
+				@Override
+				public int run() { return manager.getRoom(2, 0).getRoomNo();}
+			},
+			new Operation("updateRoomRate"){
+				@Override
+				public int run() {
+					manager.updateRoomRate(freeRoom, 100 + (sink & 1));
+					return (int) freeRoom.getRate();
+				}
+			}
+		};
+
+		// Measuring the allocated bytes only if the JVM supports it
+		com.sun.management.ThreadMXBean allocation = allocationBean();
+
+		System.out.println("Hotel: " + manager.getHotelName() + ", " + iterations + " iterations");
+		System.out.println("(checkIn and checkOut include the opposite operation)");
+		System.out.println(String.format("%-25s %12s %12s", "Operation", "ns/op", "bytes/op"));
+		for (Operation operation : operations){
+
+			// Warm up
+			for (int i = 0; i < iterations; i++)
+				sink += operation.run();
+
+			long bytes = allocation == null ? 0 : allocation.getThreadAllocatedBytes(Thread.currentThread().getId());
+			long start = System.nanoTime();
+			for (int i = 0; i < iterations; i++)
+				sink += operation.run();
+			long time = System.nanoTime() - start;
+			if (allocation != null)
+				bytes = allocation.getThreadAllocatedBytes(Thread.currentThread().getId()) - bytes;
+
+			System.out.println(String.format("%-25s %12.1f %12s", operation.name, (double) time / iterations,
+					allocation == null ? "N/A" : String.valueOf(bytes / iterations)));
+		}
+		System.out.println("(" + sink + ")");
+
+		manager.getUI().dispose();
+	}
+
+	/**
+	 * Gives the bean measuring the bytes allocated by each thread, enabling the measure if needed.
+	 *
+	 * @return the bean, or null if the JVM cannot measure the allocated bytes
+	 */
+	private static com.sun.management.ThreadMXBean allocationBean(){
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (!(bean instanceof com.sun.management.ThreadMXBean))
+			return null;
+
+		com.sun.management.ThreadMXBean allocation = (com.sun.management.ThreadMXBean) bean;
+		if (!allocation.isThreadAllocatedMemorySupported())
+			return null;
+		if (!allocation.isThreadAllocatedMemoryEnabled())
+			allocation.setThreadAllocatedMemoryEnabled(true);
+		return allocation;
+	}
+}
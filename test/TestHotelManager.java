@@ -6,6 +6,7 @@ import org.junit.Test;
 
 import java.util.*;
 
+import hms.gui.UI;
 import hms.main.HotelManager;
 import hms.model.Occupant;
 import hms.model.Room;
@@ -53,6 +54,88 @@ public class TestHotelManager {
 		assertNotNull(manager.getUI());
 	}
 	
+	/**
+	 * Testing that the manager always gives back the same UI, linked to this manager.
+	 */
+	@Test
+	public void testHotelManager_UI() {
+		
+		UI ui = manager.getUI();
+		assertNotNull(ui);
+		assertSame(ui, manager.getUI());
+		assertSame(manager, ui.hotelManager);
+		
+		ui.dispose();
+	}
+	
+	/**
+	 * Testing that the rooms loaded from the xml description are well formed and can all be
+	 * reached with the function getRoom.
+	 */
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testHotelManager_HotelDescription() {
+
+		ArrayList<Room> avRooms = manager.listAllAvailableRooms();
+		assertEquals("availability failed", 6, avRooms.size());
+
+		// Rooms used by the other tests according to the XML description
+		assertEquals("Presidential", manager.getRoom(0, 0).getTypeString());
+		assertEquals("Standard", manager.getRoom(2, 0).getTypeString());
+
+		HashSet<String> numbers = new HashSet<String>();
+		for (Room room : avRooms){
+
+			// Floor and room numbers are starting from 1 while getRoom is starting from 0, as done
+			// in TestPanelManageRoom.test_ManageRoom to get back the updated room
+			Room reached = manager.getRoom(room.getFloorNo() - 1, room.getRoomNo() - 1);
+			assertEquals("floorNo has failed", room.getFloorNo(), reached.getFloorNo());
+			assertEquals("roomNo has failed", room.getRoomNo(), reached.getRoomNo());
+			assertEquals("type has failed", room.getType(), reached.getType());
+			assertEquals("capacity has failed", room.getCapacity(), reached.getCapacity());
+			assertEquals("rate has failed", room.getRate(), reached.getRate(), 0.0001);
+			assertTrue("duplicated room", numbers.add(room.getFloorNo() + "-" + room.getRoomNo()));
+
+			assertTrue("type has failed", room.getType() >= 1 && room.getType() <= 3);
+			assertNotNull("typeString has failed", room.getTypeString());
+			assertTrue("capacity has failed", room.getCapacity() > 0);
+			assertTrue("rate has failed", room.getRate() > 0);
+		}
+	}
+
+	/**
+	 * Test that two managers loaded from the same xml description do not share their rooms: checking
+	 * in or changing a rate with one of them should not change the other one.
+	 */
+	@Test
+	public void testHotelManager_IndependentManagers(){
+		
+		HotelManager other = new HotelManager();
+		Room room = manager.getRoom(0, 0);
+		Room otherRoom = other.getRoom(0, 0);
+		assertNotSame(room, otherRoom);
+		double rate = otherRoom.getRate();
+		
+		// Changing the rate and performing the check-in with the first manager
+		manager.updateRoomRate(room, rate + 12);
+		Date dateIn = new GregorianCalendar(2016, Calendar.DECEMBER, 8).getTime();
+		assertEquals("Success", manager.checkIn("X12345678", "Gates", "Business", "Microsoft", dateIn, false, "", room));
+		
+		// The second manager should not have been changed
+		assertEquals(rate, other.getRoom(0, 0).getRate(), 0.0001);
+		assertTrue(otherRoom.isAvailable());
+		assertEquals("occupation failed", 0, other.listAllOccupiedRooms().size());
+		assertEquals("availability failed", 6, other.listAllAvailableRooms().size());
+		assertEquals(0, other.findOccupant("Name", "Gates").size());
+		
+		// Changing the second manager should not change the first one either
+		assertEquals("Success", other.checkIn("Y87654321", "Jobs", "Standard", "Apple", dateIn, false, "", otherRoom));
+		other.updateRoomRate(otherRoom, rate + 24);
+		assertEquals(rate + 12, room.getRate(), 0.0001);
+		assertEquals("Gates", room.getOccupation().getOccupant().getName());
+		assertEquals(0, manager.findOccupant("Name", "Jobs").size());
+	}
+
 	/**
 	 * Test of the function findOccupant.
 	 */
@@ -115,6 +198,164 @@ public class TestHotelManager {
 		assertEquals(0, rooms.size());
 	}
 	
+	/**
+	 * Test of the function findOccupant when several rooms are occupied.
+	 *
+	 * The results of findOccupant should always contain the same rooms, in the same order, than
+	 * the occupied rooms matching the searched value, even after check outs and failed check ins.
+	 */
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testHotelManager_findingSeveralOccupants(){
+
+		ArrayList<Room> avRooms = manager.listAllAvailableRooms();
+		Room first = avRooms.get(0);
+		Room second = avRooms.get(1);
+		Room third = avRooms.get(2);
+		Date dateIn = new GregorianCalendar(2016, Calendar.DECEMBER, 8).getTime();
+
+		// Performing the check-in of three occupants, two of them from the same company
+		assertEquals("Success", manager.checkIn("X12345678", "Gates", "Business", "Microsoft", dateIn, false, "", first));
+		assertEquals("Success", manager.checkIn("Y87654321", "Ballmer", "Standard", "Microsoft", dateIn, false, "", second));
+		assertEquals("Success", manager.checkIn("Z11223344", "Jobs", "Standard", "Apple", dateIn, false, "", third));
+
+		// Failed check-in should not be found
+		assertEquals("The format of the inputted ID is invalid",
+				manager.checkIn("X12345", "Wozniak", "Standard", "Apple", dateIn, false, "", avRooms.get(3)));
+		assertEquals(0, manager.findOccupant("Name", "Wozniak").size());
+
+		// Testing the results for each field
+		assertEquals(2, manager.findOccupant("Company", "Microsoft").size());
+		assertEquals(1, manager.findOccupant("Company", "Apple").size());
+		assertEquals(2, manager.findOccupant("Type", "Standard").size());
+		assertEquals(first, manager.findOccupant("ID", "X12345678").get(0));
+		compare_results("Name", "Jobs");
+		compare_results("ID", "Y87654321");
+		compare_results("Company", "Microsoft");
+		compare_results("Type", "Standard");
+
+		// Performing the check-out of one Microsoft occupant
+		Date dateOut = new GregorianCalendar(2016, Calendar.DECEMBER, 12).getTime();
+		assertEquals("Success", manager.checkOut(dateOut, first));
+		assertEquals(0, manager.findOccupant("Name", "Gates").size());
+		assertEquals(1, manager.findOccupant("Company", "Microsoft").size());
+		assertEquals(second, manager.findOccupant("Company", "Microsoft").get(0));
+		compare_results("Type", "Business");
+		compare_results("Type", "Standard");
+
+		// Checking in the same occupant again in another room
+		assertEquals("Success", manager.checkIn("X12345678", "Gates", "Business", "Microsoft", dateIn, false, "", avRooms.get(3)));
+		assertEquals(avRooms.get(3), manager.findOccupant("Name", "Gates").get(0));
+		compare_results("Company", "Microsoft");
+		compare_results("ID", "X12345678");
+	}
+
+	/**
+	 * Test of the lists of available and occupied rooms along several check ins and check outs.
+	 *
+	 * Both lists should always be disjoint, cover all the rooms of the hotel and keep the order of
+	 * the hotel. Failed operations should not change them, and modifying a returned list should not
+	 * change the state of the hotel.
+	 */
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testHotelManager_listingRooms(){
+
+		ArrayList<Room> allRooms = manager.listAllAvailableRooms();
+		Room first = allRooms.get(0);
+		Room last = allRooms.get(allRooms.size() - 1);
+		Date dateIn = new GregorianCalendar(2016, Calendar.DECEMBER, 8).getTime();
+		Date dateOut = new GregorianCalendar(2016, Calendar.DECEMBER, 12).getTime();
+
+		// Performing the check-in of the first and the last rooms
+		assertEquals("Success", manager.checkIn("X12345678", "Gates", "Business", "Microsoft", dateIn, false, "", last));
+		assertEquals("Success", manager.checkIn("Y87654321", "Jobs", "Standard", "Apple", dateIn, false, "", first));
+		compare_lists(allRooms);
+
+		// Failed check-in and check-out should not change the lists
+		assertEquals("Invalid type",
+				manager.checkIn("Z11223344", "Ballmer", "Luxuous", "Microsoft", dateIn, false, "", allRooms.get(1)));
+		assertEquals("Check-out date must be after check-in date",
+				manager.checkOut(new GregorianCalendar(2016, Calendar.DECEMBER, 7).getTime(), first));
+		assertEquals("The room has no occupant", manager.checkOut(dateOut, allRooms.get(1)));
+		compare_lists(allRooms);
+		assertEquals(2, manager.listAllOccupiedRooms().size());
+
+		// Modifying the returned lists should not change the hotel
+		manager.listAllOccupiedRooms().clear();
+		manager.listAllAvailableRooms().add(first);
+		compare_lists(allRooms);
+		assertEquals(2, manager.listAllOccupiedRooms().size());
+
+		// Performing the check-out of the rooms
+		assertEquals("Success", manager.checkOut(dateOut, last));
+		compare_lists(allRooms);
+		assertEquals("Success", manager.checkOut(dateOut, first));
+		compare_lists(allRooms);
+		assertEquals(allRooms, manager.listAllAvailableRooms());
+	}
+
+	/**
+	 * Function checking that the available and occupied rooms are disjoint, are covering all the rooms
+	 * of the hotel and are in the same order than the hotel.
+	 *
+	 * @param allRooms - All the rooms of the hotel, as listed when no room is occupied
+	 */
+	private void compare_lists(ArrayList<Room> allRooms){
+
+		ArrayList<Room> expectedAvailable = new ArrayList<Room>();
+		ArrayList<Room> expectedOccupied = new ArrayList<Room>();
+		for (Room room : allRooms){
+			if (room.isAvailable())
+				expectedAvailable.add(room);
+			else
+				expectedOccupied.add(room);
+		}
+
+		assertEquals("availability failed", expectedAvailable, manager.listAllAvailableRooms());
+		assertEquals("occupation failed", expectedOccupied, manager.listAllOccupiedRooms());
+	}
+
+	/**
+	 * Function checking that the results of findOccupant are the same, and in the same order, than
+	 * the occupied rooms whose occupant has the searched value.
+	 *
+	 * @param field - Field of the occupant to look at (Name, ID, Company or Type)
+	 * @param value - Searched value
+	 */
+	private void compare_results(String field, String value){
+
+		@SuppressWarnings("unchecked")
+		ArrayList<Room> ocRooms = manager.listAllOccupiedRooms();
+		ArrayList<Room> expected = new ArrayList<Room>();
+		for (Room room : ocRooms){
+			Occupant occupant = room.getOccupation().getOccupant();
+			if ((field.equals("Name") && occupant.getName().equals(value))
+					|| (field.equals("ID") && occupant.getID().equals(value))
+					|| (field.equals("Company") && occupant.getCompany().equals(value))
+					|| (field.equals("Type") && occupant.getType().equals(value)))
+				expected.add(room);
+		}
+
+		assertEquals(field + " search has failed", expected, manager.findOccupant(field, value));
+	}
+
+	/**
+	 * Function looking for a room in a list by its floor and room numbers.
+	 *
+	 * @param rooms - List of rooms given by the manager
+	 * @param floorNo - Floor number of the room
+	 * @param roomNo - Room number of the room
+	 * @return the room of the list having these numbers, or null if there is none
+	 */
+	private static Room find_room(ArrayList<Room> rooms, int floorNo, int roomNo){
+		for (Room room : rooms){
+			if (room.getFloorNo() == floorNo && room.getRoomNo() == roomNo)
+				return room;
+		}
+		return null;
+	}
+
 	
 	/**
 	 * Test of the update of the room rate with correct inputs.
@@ -146,4 +387,42 @@ public class TestHotelManager {
 			// Expected behavior
 		}
 	}
+	
+	/**
+	 * Test that the rate and the occupation of a room are the same whatever the way the room
+	 * has been obtained from the manager.
+	 */
+	@Test
+	public void testUpdateRoom_SharedRoom(){
+
+		Room room = manager.getRoom(0, 0);
+		@SuppressWarnings("unchecked")
+		ArrayList<Room> avRooms = manager.listAllAvailableRooms();
+		Room listedRoom = find_room(avRooms, room.getFloorNo(), room.getRoomNo());
+		assertNotNull("room not listed", listedRoom);
+
+		// Updating the rate through the manager
+		manager.updateRoomRate(room, 12);
+		assertEquals(12, listedRoom.getRate(), 0.0001);
+		assertEquals(12, manager.getRoom(0, 0).getRate(), 0.0001);
+
+		// Updating the rate through the listed room
+		listedRoom.setRate(24);
+		assertEquals(24, room.getRate(), 0.0001);
+		assertEquals(24, manager.getRoom(0, 0).getRate(), 0.0001);
+
+		// Performing the check-in and looking at the occupied room
+		Date dateIn = new GregorianCalendar(2016, Calendar.DECEMBER, 8).getTime();
+		assertEquals("Success", manager.checkIn("X12345678", "Gates", "Business", "Microsoft", dateIn, false, "", room));
+		@SuppressWarnings("unchecked")
+		ArrayList<Room> ocRooms = manager.listAllOccupiedRooms();
+		Room occupiedRoom = find_room(ocRooms, room.getFloorNo(), room.getRoomNo());
+		assertNotNull("room not listed", occupiedRoom);
+		assertEquals(24, occupiedRoom.getRate(), 0.0001);
+		assertFalse(listedRoom.isAvailable());
+		assertFalse(manager.getRoom(0, 0).isAvailable());
+		assertEquals("Gates", listedRoom.getOccupation().getOccupant().getName());
+		assertEquals("Gates", occupiedRoom.getOccupation().getOccupant().getName());
+		assertEquals(dateIn, manager.getRoom(0, 0).getOccupation().getCheckInDate());
+	}
 }
\ No newline at end of file
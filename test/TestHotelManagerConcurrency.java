@@ -0,0 +1,222 @@
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import hms.main.HotelManager;
+import hms.model.Room;
+
+/**
+ * Class used in order to test the check in and check out functions from {@link HotelManager} when
+ * several front desks are using the same manager at the same time.
+ *
+ * The tests performed are the following ones:
+ * - several desks checking in the same room at the same time
+ * - several desks checking in and out random rooms while a report is checking the room lists
+ *
+ * FIXME both tests are ignored, since they fail whenever the desks happen to race as long as the
+ * occupancy transitions of the rooms are not atomic. For the same reason this class is not part of
+ * {@link CSIT5100_TestMain} yet.
+ *
+ * @author Quentin
+ *
+ */
+public class TestHotelManagerConcurrency {
+
+	private static final int DESKS = 8;
+
+	private static final int ROUNDS = 200;
+
+	private static final int OPERATIONS = 2000;
+
+	public HotelManager manager;
+
+	public ExecutorService executor;
+
+	public Date dateIn = new GregorianCalendar(2016, Calendar.DECEMBER, 8).getTime();
+
+	public Date dateOut = new GregorianCalendar(2016, Calendar.DECEMBER, 15).getTime();
+
+	@Before
+	public void setUp(){
+		manager = new HotelManager();
+		executor = Executors.newFixedThreadPool(DESKS + 1);
+	}
+
+	@After
+	public void tearDown() throws InterruptedException{
+		executor.shutdownNow();
+		executor.awaitTermination(10, TimeUnit.SECONDS);
+		manager = null;
+	}
+
+	/**
+	 * Testing that only one desk succeeds when all of them are checking in the same room at the same time.
+	 */
+	@Ignore("needs atomic Room occupancy transitions")
+	@Test
+	public void testConcurrentCheckIn_SameRoom() throws Exception{
+
+		final Room room = manager.getRoom(0, 0);
+
+		for (int round = 0; round < ROUNDS; round++){
+
+			// All the desks are waiting for the same signal before checking in
+			final CountDownLatch start = new CountDownLatch(1);
+			List<Future<String>> results = new ArrayList<Future<String>>();
+			for (int desk = 0; desk < DESKS; desk++){
+				final String name = "Gates" + desk;
+				results.add(executor.submit(new Callable<String>(){
+					@Override
+					public String call() throws Exception {
+						start.await();
+						return manager.checkIn("X12345678", name, "Business", "Microsoft", dateIn, false, "", room);
+					}
+				}));
+			}
+			start.countDown();
+
+			// Exactly one of the check ins should have succeeded
+			int success = 0;
+			for (Future<String> result : results){
+				if ("Success".equals(result.get(10, TimeUnit.SECONDS)))
+					success++;
+			}
+			assertEquals("round " + round + " has failed", 1, success);
+			assertFalse(room.isAvailable());
+			assertEquals(1, manager.listAllOccupiedRooms().size());
+			assertEquals(5, manager.listAllAvailableRooms().size());
+
+			// Releasing the room for the next round
+			assertEquals("Success", manager.checkOut(dateOut, room));
+		}
+	}
+
+	/**
+	 * Testing that the room lists stay consistent while several desks are checking in and out random
+	 * rooms: during the run each list should only contain distinct rooms of the hotel, and once the
+	 * desks are done the rooms checked in and not checked out again should be the occupied rooms, and
+	 * the available and occupied rooms should add up to the rooms of the hotel.
+	 */
+	@Ignore("needs atomic Room occupancy transitions")
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testConcurrentCheckInCheckOut_RoomCount() throws Exception{
+
+		final ArrayList<Room> rooms = manager.listAllAvailableRooms();
+		final int roomCount = rooms.size();
+		final AtomicBoolean running = new AtomicBoolean(true);
+		final CountDownLatch start = new CountDownLatch(1);
+
+		// Floor and room numbers of the rooms of the hotel
+		final HashSet<String> numbers = new HashSet<String>();
+		for (Room room : rooms)
+			numbers.add(room.getFloorNo() + "-" + room.getRoomNo());
+
+		// Report checking the room lists while the desks are working
+		Future<String> report = executor.submit(new Callable<String>(){
+			@Override
+			public String call() throws Exception {
+				start.await();
+				while (running.get() && !Thread.currentThread().isInterrupted()){
+					@SuppressWarnings("unchecked")
+					ArrayList<Room> available = manager.listAllAvailableRooms();
+					@SuppressWarnings("unchecked")
+					ArrayList<Room> occupied = manager.listAllOccupiedRooms();
+					String message = check_list("available", available, numbers);
+					if (message == null)
+						message = check_list("occupied", occupied, numbers);
+					if (message != null)
+						return message;
+				}
+				return "Success";
+			}
+		});
+
+		// Desks checking in and out random rooms, counting their successful check ins and check outs
+		List<Future<int[]>> desks = new ArrayList<Future<int[]>>();
+		for (int desk = 0; desk < DESKS; desk++){
+			final Random random = new Random(desk);
+			final String ID = "X1234567" + desk;
+			desks.add(executor.submit(new Callable<int[]>(){
+				@Override
+				public int[] call() throws Exception {
+					int[] success = new int[2];
+					start.await();
+					for (int i = 0; i < OPERATIONS; i++){
+						Room room = rooms.get(random.nextInt(roomCount));
+						if (room.isAvailable()){
+							if ("Success".equals(manager.checkIn(ID, "Gates", "Business", "Microsoft", dateIn, false, "", room)))
+								success[0]++;
+						}else{
+							if ("Success".equals(manager.checkOut(dateOut, room)))
+								success[1]++;
+						}
+					}
+					return success;
+				}
+			}));
+		}
+		start.countDown();
+
+		int checkIns = 0;
+		int checkOuts = 0;
+		try{
+			for (Future<int[]> desk : desks){
+				int[] success = desk.get(60, TimeUnit.SECONDS);
+				checkIns += success[0];
+				checkOuts += success[1];
+			}
+		}finally{
+			running.set(false);
+		}
+		assertEquals("Success", report.get(10, TimeUnit.SECONDS));
+
+		// Once the desks are done, the rooms still checked in should be the occupied ones
+		int occupied = manager.listAllOccupiedRooms().size();
+		assertEquals("occupation failed", checkIns - checkOuts, occupied);
+		assertEquals("availability failed", roomCount, occupied + manager.listAllAvailableRooms().size());
+	}
+
+	/**
+	 * Function checking that a list of rooms given by the manager has at most the number of rooms
+	 * of the hotel, has no duplicated room and only contains rooms of the hotel.
+	 *
+	 * @param name - Name of the list, used in the message
+	 * @param list - List of rooms given by the manager
+	 * @param numbers - Floor and room numbers of the rooms of the hotel
+	 * @return message describing the first problem found, or null if the list is consistent
+	 */
+	private static String check_list(String name, ArrayList<Room> list, HashSet<String> numbers){
+
+		if (list.size() > numbers.size())
+			return "Too many " + name + " rooms: " + list.size();
+
+		HashSet<String> listed = new HashSet<String>();
+		for (Room room : list){
+			String number = room.getFloorNo() + "-" + room.getRoomNo();
+			if (!numbers.contains(number))
+				return "Unknown " + name + " room: " + number;
+			if (!listed.add(number))
+				return "Duplicated " + name + " room: " + number;
+		}
+		return null;
+	}
+}
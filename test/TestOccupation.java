@@ -35,4 +35,42 @@ public class TestOccupation {
 		assertEquals("isDataServiceRequired has failed", dataService, occupation.isDataServiceRequired());
 		assertEquals("getOccupant has failed", occupant, occupation.getOccupant());
 	}
+	
+	/**
+	 * Testing that the values are given back exactly as they were entered, including the time
+	 * of the check in date and the case of the ethernet address.
+	 */
+	@Test
+	public void test_valuesKeptAsEntered() {
+		Occupant occupant = new Occupant("X12345678", "Business", "Gates", "Microsoft");
+		Date dateIn = new GregorianCalendar(2016, Calendar.DECEMBER, 8, 14, 30, 15).getTime();
+		
+		// Upper case ethernet address
+		Occupation occupation = new Occupation(dateIn, true, "01:23:45:67:89:AB", occupant);
+		assertEquals("checkInDate has failed", dateIn.getTime(), occupation.getCheckInDate().getTime());
+		assertEquals("getEthernetAddress has failed", "01:23:45:67:89:AB", occupation.getEthernetAddress());
+		
+		// Empty ethernet address when no data service is required
+		occupation = new Occupation(dateIn, false, "", occupant);
+		assertEquals("getEthernetAddress has failed", "", occupation.getEthernetAddress());
+		assertFalse("isDataServiceRequired has failed", occupation.isDataServiceRequired());
+		
+		// Occupations of two occupants of the same company and type
+		Occupation first = new Occupation(dateIn, false, "",
+				new Occupant("Y87654321", new String("Standard"), "Ballmer", new String("Apple")));
+		Occupation second = new Occupation(dateIn, true, "ab:12:34:56:78:90",
+				new Occupant("Z11223344", new String("Standard"), "Wozniak", new String("Apple")));
+		
+		assertEquals("Y87654321", first.getOccupant().getID());
+		assertEquals("Ballmer", first.getOccupant().getName());
+		assertEquals("Apple", first.getOccupant().getCompany());
+		assertEquals("Standard", first.getOccupant().getType());
+		assertEquals("", first.getEthernetAddress());
+		
+		assertEquals("Z11223344", second.getOccupant().getID());
+		assertEquals("Wozniak", second.getOccupant().getName());
+		assertEquals("Apple", second.getOccupant().getCompany());
+		assertEquals("Standard", second.getOccupant().getType());
+		assertEquals("ab:12:34:56:78:90", second.getEthernetAddress());
+	}
 }
@@ -36,6 +36,7 @@ import hms.model.Room;
  * - search for a booked presidential room with data
  * - search when no room is booked
  * - search when the selected room is null
+ * - displayed values after a change of the room rate and occupant
  * 
  * One other tests has been added to check the consistency between the room information and the table 
  * displayed on the screen.
@@ -175,6 +176,45 @@ public class TestPanelSearch {
 		assertEquals(0, searchPanel.searchResults.length);
 	}
 	
+	/**
+	 * Testing that the table shows the current values of the found room, also after its rate
+	 * and its occupant have been changed.
+	 */
+	@Test
+	public void test_searchPanel_updated_room(){
+		
+		// Booking one room
+		Room bookedRoom = manager.getRoom(0, 0);
+		String checkin = manager.checkIn("X12345678", "Gates", "Business", "Microsoft", dateIn, true, "01:23:45:67:89:ab", bookedRoom);
+		assertEquals("Success", checkin);
+		
+		//Mock click action of searchPanel.searchButton
+		searchPanel.searchField.setText(value);
+		searchPanel.typeField.setSelectedIndex(type);
+		searchPanel.searchButton.doClick();
+		
+		//Checking the number of results
+		assertEquals(1, searchPanel.searchResults.length);
+		TableModel model = searchPanel.searchRoomTable.getModel();
+		assertEquals(1, model.getRowCount());
+		
+		//Checking the consistency with the room
+		Room room = (Room) searchPanel.searchResults[0];
+		compare_information(room, model, 0);
+		
+		// Changing the rate of the room without performing a new search
+		manager.updateRoomRate(bookedRoom, bookedRoom.getRate() + 12);
+		compare_information(room, model, 0);
+		
+		// Changing the occupant of the room without performing a new search
+		Date dateOut = new GregorianCalendar(2016, Calendar.DECEMBER, 15).getTime();
+		assertEquals("Success", manager.checkOut(dateOut, bookedRoom));
+		String checkinOther = manager.checkIn("Y87654321", "Jobs", "Standard", "Apple", dateOut, false, "", bookedRoom);
+		assertEquals("Success", checkinOther);
+		assertEquals("Jobs", model.getValueAt(0, 6).toString());
+		compare_information(room, model, 0);
+	}
+	
 	/**
 	 * Testing failing and showing a problem in the source code
 	 */